@@ -1,3 +1,5 @@
+import org.gradle.api.tasks.testing.logging.TestLogEvent
+
 plugins {
     application
     java
@@ -8,6 +10,25 @@ repositories {
     mavenCentral()
 }
 
+dependencies {
+    // Use JUnit Jupiter API for testing.
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.11.2")
+
+    // Use JUnit Jupiter Engine for testing.
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.11.2")
+}
+
 application {
     mainClass.set("it.unibo.mvc.MiniGUI")
 }
+
+tasks.withType<Test> {
+    // Use junit platform for unit tests
+    useJUnitPlatform()
+    // No display is needed to measure the Event Dispatch Thread
+    systemProperty("java.awt.headless", "true")
+    testLogging {
+        events(*(TestLogEvent.values())) // events("passed", "skipped", "failed")
+    }
+    testLogging.showStandardStreams = true
+}
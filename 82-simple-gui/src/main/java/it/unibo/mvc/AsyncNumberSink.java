@@ -0,0 +1,230 @@
+package it.unibo.mvc;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link NumberSink} that hands the numbers to a background writer through a bounded
+ * queue. The writer batches them, one per line, into a {@link FileChannel}, which is
+ * written when the buffer fills up or, at the latest, every {@link #FLUSH_PERIOD_MS}
+ * milliseconds. When the queue is full, numbers are dropped rather than blocking the caller:
+ * they are counted, and the count is available from {@link #getDroppedCount()}.
+ */
+public final class AsyncNumberSink implements NumberSink {
+
+    /**
+     * Maximum number of milliseconds a number waits in the buffer before being written.
+     */
+    public static final long FLUSH_PERIOD_MS = 100;
+
+    private static final int QUEUE_CAPACITY = 1 << 14;
+    private static final int BUFFER_SIZE = 1 << 16;
+    /*
+     * Sign, ten digits and the line separator
+     */
+    private static final int MAX_LINE_LENGTH = 12;
+
+    private final BlockingQueue<Integer> queue;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final AtomicLong dropped = new AtomicLong();
+    private final WritableByteChannel channel;
+    private final boolean ownsChannel;
+    private final Thread writer;
+    /*
+     * Written under the lock of this sink, so that no number enters the queue after the closure:
+     * the writer only stops once it sees the sink closed and the queue empty.
+     */
+    private volatile boolean closed;
+    private volatile IOException failure;
+    /*
+     * Confined to the writer: the numbers taken from the queue and not yet encoded,
+     * and those encoded in the buffer and not yet written.
+     */
+    private final Queue<Integer> batch = new ArrayDeque<>();
+    private int pending;
+
+    /**
+     * Builds a new {@link AsyncNumberSink} and starts its writer.
+     *
+     * @param channel the channel to write
+     * @param ownsChannel whether the channel must be closed along with the sink
+     * @param name the name of the writer thread
+     * @param capacity the number of numbers the queue can hold
+     */
+    AsyncNumberSink(
+        final WritableByteChannel channel,
+        final boolean ownsChannel,
+        final String name,
+        final int capacity
+    ) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.writer = new Thread(this::drain, "number-writer-" + name);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Builds a sink writing on the standard output.
+     *
+     * @return a new sink on the standard output
+     */
+    public static AsyncNumberSink toStandardOutput() {
+        return new AsyncNumberSink(
+            new FileOutputStream(FileDescriptor.out).getChannel(),
+            false,
+            "stdout",
+            QUEUE_CAPACITY
+        );
+    }
+
+    /**
+     * Builds a sink appending to a file, which is created if it does not exist.
+     *
+     * @param file the file to write
+     * @return a new sink on the given file
+     * @throws IOException if the file cannot be opened
+     */
+    public static AsyncNumberSink toFile(final Path file) throws IOException {
+        return new AsyncNumberSink(
+            FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+            true,
+            file.getFileName().toString(),
+            QUEUE_CAPACITY
+        );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void accept(final int number) {
+        if (closed || failure != null || !queue.offer(number)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws UncheckedIOException if the writer failed to write on the channel
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        try {
+            writer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /*
+     * The writer is never interrupted: an interrupt during a write would close the channel.
+     * It rather polls the queue, and notices the closure within a flush period.
+     */
+    private void drain() {
+        long nextFlush = System.currentTimeMillis() + FLUSH_PERIOD_MS;
+        try {
+            while (!closed || !queue.isEmpty()) {
+                final Integer first = queue.poll(FLUSH_PERIOD_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    /*
+                     * A number leaves the batch only once encoded, so that a failure counts it.
+                     */
+                    while (!batch.isEmpty()) {
+                        encode(batch.peek());
+                        batch.remove();
+                    }
+                }
+                final long now = System.currentTimeMillis();
+                if (now >= nextFlush) {
+                    flush();
+                    nextFlush = now + FLUSH_PERIOD_MS;
+                }
+            }
+            flush();
+        } catch (final IOException e) {
+            fail(e);
+        } catch (final RuntimeException e) {
+            /*
+             * E.g., a channel not open for writing: the writer must not die silently.
+             */
+            fail(new IOException(e));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (ownsChannel) {
+                try {
+                    channel.close();
+                } catch (final IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Under the lock, so that no number enters the queue after it has been emptied.
+     * Every number not written yet is counted as dropped, wherever the writer holds it.
+     */
+    private synchronized void fail(final IOException e) {
+        failure = e;
+        dropped.addAndGet(pending + batch.size() + queue.size());
+        pending = 0;
+        batch.clear();
+        queue.clear();
+    }
+
+    private void encode(final int number) throws IOException {
+        if (buffer.remaining() < MAX_LINE_LENGTH) {
+            flush();
+        }
+        final String text = Integer.toString(number);
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+        buffer.put((byte) '\n');
+        pending++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        pending = 0;
+    }
+}
@@ -0,0 +1,239 @@
+package it.unibo.mvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generates large amounts of random integers in parallel, writing them on a memory-mapped file.
+ * <p>
+ * The numbers are split in chunks, each generated by its own {@link SplittableRandom} split
+ * from a seeded root, so that the same seed always produces the same file regardless of
+ * the number of cores. Each number takes a fixed number of bytes (see {@link Format}),
+ * so every chunk knows its position in the file and gets mapped and written independently.
+ */
+public final class BulkGenerator {
+
+    /**
+     * Numbers generated by each task.
+     */
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    private final long seed;
+    private final int chunkSize;
+
+    /**
+     * The layout of the numbers in the file.
+     */
+    public enum Format {
+        /**
+         * One number per line, right-aligned on eleven characters, so that all lines are equally long.
+         */
+        TEXT(12),
+        /**
+         * Four bytes per number, big-endian.
+         */
+        BINARY(Integer.BYTES);
+
+        private final int bytes;
+
+        Format(final int bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Returns the bytes taken by each number.
+         *
+         * @return the bytes per number
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Builds a new {@link BulkGenerator}.
+     *
+     * @param seed the seed of the generated sequence
+     */
+    public BulkGenerator(final long seed) {
+        this(seed, CHUNK_SIZE);
+    }
+
+    /**
+     * Builds a new {@link BulkGenerator} with the given chunk size.
+     *
+     * @param seed the seed of the generated sequence
+     * @param chunkSize the numbers generated by each task
+     * @throws IllegalArgumentException if the chunk size is not positive, or a chunk would not fit a mapping
+     */
+    BulkGenerator(final long seed, final int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE / Format.TEXT.bytes) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.seed = seed;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Generates random integers on a file, overwriting it if it exists.
+     * If the generation gets cancelled, the chunks not yet started are left filled with zeros.
+     * The disk space is checked before touching the file, as the file is sized without being
+     * allocated: if writing fails anyway, the file is deleted.
+     *
+     * @param file the file to write
+     * @param count how many numbers to generate
+     * @param format the layout of the numbers in the file
+     * @param progress notified, from the generating threads, with the amount of numbers written so far
+     * @param cancelled checked before generating each chunk, stops the generation when true
+     * @return the amount of numbers written
+     * @throws IOException if there is not enough space for the file, or it cannot be written
+     * @throws IllegalArgumentException if count is negative, or larger than {@link Integer#MAX_VALUE} chunks
+     */
+    public long generate(
+        final Path file,
+        final long count,
+        final Format format,
+        final LongConsumer progress,
+        final BooleanSupplier cancelled
+    ) throws IOException {
+        Objects.requireNonNull(format);
+        /*
+         * The chunk size bounds both the chunk count and the file size far from overflowing.
+         */
+        if (count < 0 || count > (long) Integer.MAX_VALUE * chunkSize) {
+            throw new IllegalArgumentException("Cannot generate " + count + " numbers");
+        }
+        checkSpace(file, count * format.bytes);
+        final long chunks = count / chunkSize + (count % chunkSize == 0 ? 0 : 1);
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] generators = new SplittableRandom[(int) chunks];
+        for (int i = 0; i < generators.length; i++) {
+            generators[i] = root.split();
+        }
+        final AtomicLong written = new AtomicLong();
+        final FileChannel channel = FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING
+        );
+        /*
+         * From now on the previous content is gone: a failure leaves no half-written file behind.
+         */
+        try (channel) {
+            if (count > 0) {
+                /*
+                 * Size the file upfront, so that concurrent mappings never need to grow it.
+                 */
+                channel.write(ByteBuffer.allocate(1), count * format.bytes - 1);
+            }
+            IntStream.range(0, generators.length).parallel().forEach(chunk -> {
+                if (!cancelled.getAsBoolean()) {
+                    final long first = (long) chunk * chunkSize;
+                    final int size = (int) Math.min(chunkSize, count - first);
+                    try {
+                        final MappedByteBuffer target = channel.map(
+                            FileChannel.MapMode.READ_WRITE,
+                            first * format.bytes,
+                            (long) size * format.bytes
+                        );
+                        write(target, generators[chunk], size, format);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (final InternalError e) {
+                        /*
+                         * Raised by the mapped buffer when the disk fills up meanwhile.
+                         */
+                        throw new UncheckedIOException(new IOException("Cannot write on " + file, e));
+                    }
+                    progress.accept(written.addAndGet(size));
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            Files.deleteIfExists(file);
+            throw e.getCause();
+        } catch (final IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return written.get();
+    }
+
+    /*
+     * The space taken by the file being overwritten gets freed when it is truncated.
+     */
+    private static void checkSpace(final Path file, final long bytes) throws IOException {
+        final Path target = file.toAbsolutePath();
+        final long reclaimed = Files.isRegularFile(target) ? Files.size(target) : 0;
+        final long usable = Files.getFileStore(target.getParent()).getUsableSpace();
+        if (usable + reclaimed < bytes) {
+            throw new IOException(
+                "Not enough space for " + file + ": " + bytes + " bytes needed, " + (usable + reclaimed) + " available"
+            );
+        }
+    }
+
+    private static void write(
+        final MappedByteBuffer target,
+        final SplittableRandom generator,
+        final int size,
+        final Format format
+    ) {
+        if (format == Format.BINARY) {
+            for (int i = 0; i < size; i++) {
+                target.putInt(generator.nextInt());
+            }
+        } else {
+            /*
+             * Lines are encoded on the heap and copied in bulk: single byte puts on a mapped
+             * buffer are much slower.
+             */
+            final byte[] lines = new byte[size * format.bytes];
+            for (int i = 0; i < size; i++) {
+                encode(generator.nextInt(), lines, (i + 1) * format.bytes);
+            }
+            target.put(lines);
+        }
+    }
+
+    /**
+     * Writes a number as a right-aligned line of {@link Format#TEXT}, backwards from the end of
+     * the line to the end of the previous one.
+     *
+     * @param number the number to write
+     * @param lines where to write the line
+     * @param end the index following the line separator
+     */
+    static void encode(final int number, final byte[] lines, final int end) {
+        final int start = end - Format.TEXT.bytes;
+        long value = Math.abs((long) number);
+        int position = end - 1;
+        lines[position] = '\n';
+        do {
+            position--;
+            lines[position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        if (number < 0) {
+            position--;
+            lines[position] = '-';
+        }
+        while (position > start) {
+            position--;
+            lines[position] = ' ';
+        }
+    }
+}
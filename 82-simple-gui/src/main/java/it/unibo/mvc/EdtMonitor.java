@@ -0,0 +1,192 @@
+package it.unibo.mvc;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InputEvent;
+import java.awt.event.InvocationEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EventQueue} that measures how responsive the Event Dispatch Thread is.
+ * <p>
+ * For every event carrying a timestamp (input and invocation events) it records how long
+ * the event waited in the queue, and for every event how long its handlers held the
+ * Event Dispatch Thread. A watchdog thread reports the events whose handlers run longer
+ * than a threshold, along with the stack of the Event Dispatch Thread captured while stalled.
+ * Modal dialogs dispatch events from within a handler: while they wait for events the
+ * Event Dispatch Thread is not considered stalled, but the enclosing handler duration includes
+ * the time the dialog was shown.
+ * It works in headless mode too, so that responsiveness can be checked in tests.
+ */
+public final class EdtMonitor extends EventQueue {
+
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram handlerDuration = new LatencyHistogram();
+    private final long thresholdNanos;
+    private final Consumer<Stall> listener;
+    private final ScheduledExecutorService watchdog;
+    private final AtomicLong dispatchCount = new AtomicLong();
+    /*
+     * Written by the Event Dispatch Thread, read by the watchdog. The current event is null
+     * while the Event Dispatch Thread waits for events.
+     */
+    private volatile Thread dispatcher;
+    private volatile AWTEvent current;
+    private volatile long dispatchStart;
+    /*
+     * Confined to the Event Dispatch Thread: the event of the innermost running dispatch.
+     */
+    private AWTEvent innermost;
+    /*
+     * Confined to the watchdog.
+     */
+    private long lastReported = -1;
+
+    /**
+     * A handler that held the Event Dispatch Thread longer than the threshold.
+     *
+     * @param event the description of the event being dispatched
+     * @param elapsed how long the handler had been running when the stack was captured
+     * @param stack the stack of the Event Dispatch Thread during the stall
+     */
+    public record Stall(String event, Duration elapsed, List<StackTraceElement> stack) {
+    }
+
+    private EdtMonitor(final Duration threshold, final Consumer<Stall> listener) {
+        this.thresholdNanos = threshold.toNanos();
+        this.listener = Objects.requireNonNull(listener);
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Replaces the system event queue with a new {@link EdtMonitor}.
+     *
+     * @param threshold the handler duration over which a stall gets reported
+     * @param listener notified of the stalls, from the watchdog thread
+     * @return the installed monitor
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public static EdtMonitor install(final Duration threshold, final Consumer<Stall> listener) {
+        if (threshold.isNegative() || threshold.isZero()) {
+            throw new IllegalArgumentException("The stall threshold must be positive: " + threshold);
+        }
+        final EdtMonitor monitor = new EdtMonitor(threshold, listener);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        /*
+         * Sampling twice per threshold reports a stall at most one threshold and a half late.
+         */
+        final long period = Math.max(1, monitor.thresholdNanos / 2);
+        monitor.watchdog.scheduleAtFixedRate(monitor::checkStall, period, period, TimeUnit.NANOSECONDS);
+        return monitor;
+    }
+
+    /**
+     * Stops the watchdog and restores the previous event queue.
+     */
+    public void uninstall() {
+        watchdog.shutdownNow();
+        pop();
+    }
+
+    /**
+     * Returns how long the events waited in the queue before being dispatched.
+     * Only events carrying a timestamp are measured, with millisecond precision.
+     *
+     * @return the queue latency histogram
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Returns how long the handlers held the Event Dispatch Thread.
+     *
+     * @return the handler duration histogram
+     */
+    public LatencyHistogram getHandlerDuration() {
+        return handlerDuration;
+    }
+
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        if (isDispatchThread()) {
+            current = null;
+        }
+        return super.getNextEvent();
+    }
+
+    @Override
+    protected void dispatchEvent(final AWTEvent event) {
+        final long when = timestamp(event);
+        if (when > 0) {
+            queueLatency.record((System.currentTimeMillis() - when) * NANOS_PER_MILLI);
+        }
+        final AWTEvent outer = innermost;
+        innermost = event;
+        dispatcher = Thread.currentThread();
+        final long start = System.nanoTime();
+        /*
+         * The start is published before the event, so that the watchdog never pairs
+         * the new event with the start of the previous one.
+         */
+        dispatchStart = start;
+        current = event;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            final long end = System.nanoTime();
+            handlerDuration.record(end - start);
+            dispatchCount.incrementAndGet();
+            innermost = outer;
+            /*
+             * A nested dispatch returns either to a modal loop, which will wait for the next
+             * event, or to the enclosing handler, which resumes running now.
+             */
+            dispatchStart = end;
+            current = outer;
+        }
+    }
+
+    private static long timestamp(final AWTEvent event) {
+        if (event instanceof InputEvent) {
+            return ((InputEvent) event).getWhen();
+        }
+        if (event instanceof InvocationEvent) {
+            return ((InvocationEvent) event).getWhen();
+        }
+        return 0;
+    }
+
+    /*
+     * Runs on the watchdog thread only. Each dispatch is reported at most once.
+     */
+    private void checkStall() {
+        final long count = dispatchCount.get();
+        final AWTEvent event = current;
+        final long elapsed = System.nanoTime() - dispatchStart;
+        if (event != null && count != lastReported && elapsed > thresholdNanos) {
+            final List<StackTraceElement> stack = List.of(dispatcher.getStackTrace());
+            /*
+             * Discard the sample if the dispatch ended while capturing the stack.
+             */
+            if (current == event && dispatchCount.get() == count) {
+                lastReported = count;
+                listener.accept(new Stall(event.paramString(), Duration.ofNanos(elapsed), stack));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package it.unibo.mvc;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations with power-of-two buckets: recording is a couple of
+ * atomic increments, and the percentiles are precise within a factor of two.
+ */
+public final class LatencyHistogram {
+
+    /*
+     * Bucket zero counts non-positive durations, bucket b counts those in [2^(b-1), 2^b) ns.
+     */
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration, in nanoseconds
+     */
+    public void record(final long nanos) {
+        counts.incrementAndGet(nanos <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos));
+        total.incrementAndGet();
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * Returns the longest recorded duration.
+     *
+     * @return the longest recorded duration, or zero if nothing was recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the recorded durations.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, or zero if nothing was recorded
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100
+     */
+    public Duration getPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile out of range: " + percentile);
+        }
+        final long rank = (long) Math.ceil(total.get() * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank && seen > 0) {
+                return bucket == 0 ? Duration.ZERO : Duration.ofNanos(Math.min((1L << bucket) - 1, max.get()));
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+            + ", p50<=" + getPercentile(50).toMillis() + "ms"
+            + ", p99<=" + getPercentile(99).toMillis() + "ms"
+            + ", max=" + getMax().toMillis() + "ms";
+    }
+}
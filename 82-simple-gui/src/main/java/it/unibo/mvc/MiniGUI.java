@@ -1,13 +1,25 @@
 package it.unibo.mvc;
 
 import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JFileChooser;
 import javax.swing.JFrame;
+import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Toolkit;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
 import java.util.Random;
 
 /**
@@ -15,22 +27,43 @@ import java.util.Random;
  * This application does not exploit the model-view-controller pattern, and as
  * such is just to be used to learn the basics, not as a template for your
  * applications.
+ * The numbers are handed to a {@link NumberSink}, so that the Event Dispatch
+ * Thread never performs I/O.
  */
 public class MiniGUI {
 
     private static final String TITLE = "A very simple GUI application";
     private static final int PROPORTION = 5;
+    private static final String DEFAULT_BULK_COUNT = "100000000";
+    private static final String GENERATE = "Generate in bulk";
+    private static final int PERCENT = 100;
+    private static final Duration STALL_THRESHOLD = Duration.ofMillis(100);
     private final Random randomGenerator = new Random();
     private final JFrame frame = new JFrame(TITLE);
+    private final JTextField bulkCount = new JTextField(DEFAULT_BULK_COUNT);
+    private final JComboBox<BulkGenerator.Format> bulkFormat = new JComboBox<>(BulkGenerator.Format.values());
+    private final JButton bulkGenerate = new JButton(GENERATE);
+    private final JProgressBar bulkProgress = new JProgressBar(0, PERCENT);
+    private BulkWorker bulkWorker;
 
     /**
      * Creates a new {@link MiniGUI}.
+     *
+     * @param sink
+     *            the destination of the random numbers
      */
-    public MiniGUI() {
+    public MiniGUI(final NumberSink sink) {
         final JPanel canvas = new JPanel();
         canvas.setLayout(new BorderLayout());
-        final JButton write = new JButton("Print a random number on standard output");
+        final JButton write = new JButton("Write a random number");
         canvas.add(write, BorderLayout.CENTER);
+        final JPanel bulk = new JPanel();
+        bulk.add(bulkCount);
+        bulk.add(bulkFormat);
+        bulk.add(bulkGenerate);
+        bulkProgress.setStringPainted(true);
+        bulk.add(bulkProgress);
+        canvas.add(bulk, BorderLayout.SOUTH);
         frame.setContentPane(canvas);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         /*
@@ -39,11 +72,145 @@ public class MiniGUI {
         write.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(final ActionEvent e) {
-                System.out.println(randomGenerator.nextInt());
+                sink.accept(randomGenerator.nextInt());
+                final long dropped = sink.getDroppedCount();
+                if (dropped > 0) {
+                    frame.setTitle(TITLE + " (" + dropped + " numbers dropped)");
+                }
+            }
+        });
+        bulkGenerate.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                if (bulkWorker == null) {
+                    startBulk();
+                } else {
+                    /*
+                     * Do not interrupt: an interrupted thread would close the file channel.
+                     * The running chunks complete before the job ends: wait for it.
+                     */
+                    bulkWorker.cancel(false);
+                    bulkGenerate.setText("Cancelling...");
+                    bulkGenerate.setEnabled(false);
+                }
             }
         });
     }
 
+    private void startBulk() {
+        final long count;
+        try {
+            count = Long.parseLong(bulkCount.getText().trim());
+        } catch (final NumberFormatException e) {
+            JOptionPane.showMessageDialog(
+                frame, "Not a number: " + bulkCount.getText(), TITLE, JOptionPane.ERROR_MESSAGE
+            );
+            return;
+        }
+        final JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(frame) == JFileChooser.APPROVE_OPTION && confirmOverwrite(chooser)) {
+            bulkWorker = new BulkWorker(
+                chooser.getSelectedFile().toPath(),
+                count,
+                bulkFormat.getItemAt(bulkFormat.getSelectedIndex()),
+                randomGenerator.nextLong()
+            );
+            bulkWorker.addPropertyChangeListener(event -> {
+                if ("progress".equals(event.getPropertyName())) {
+                    bulkProgress.setValue((Integer) event.getNewValue());
+                }
+            });
+            bulkProgress.setValue(0);
+            bulkProgress.setString(null);
+            bulkGenerate.setText("Cancel");
+            bulkWorker.execute();
+        }
+    }
+
+    /*
+     * The generation truncates the file right away, and deletes it if cancelled.
+     */
+    private boolean confirmOverwrite(final JFileChooser chooser) {
+        return !chooser.getSelectedFile().exists() || JOptionPane.showConfirmDialog(
+            frame,
+            chooser.getSelectedFile() + " already exists: its content will be lost. Overwrite it?",
+            TITLE,
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.WARNING_MESSAGE
+        ) == JOptionPane.YES_OPTION;
+    }
+
+    /**
+     * Generates the numbers in the background, reporting the progress to the frame.
+     */
+    private final class BulkWorker extends SwingWorker<Long, Void> {
+
+        private final Path file;
+        private final long count;
+        private final BulkGenerator.Format format;
+        private final long seed;
+        /*
+         * Written by the background thread before finish() gets scheduled.
+         */
+        private volatile long written;
+        private volatile Throwable failure;
+
+        private BulkWorker(final Path file, final long count, final BulkGenerator.Format format, final long seed) {
+            this.file = file;
+            this.count = count;
+            this.format = format;
+            this.seed = seed;
+        }
+
+        /*
+         * The job ends here, not in done(): a cancelled worker is done as soon as it is
+         * cancelled, while its chunks may still be running.
+         */
+        @Override
+        protected Long doInBackground() {
+            try {
+                written = new BulkGenerator(seed).generate(
+                    file,
+                    count,
+                    format,
+                    done -> setProgress((int) (done * PERCENT / count)),
+                    this::isCancelled
+                );
+                if (written < count) {
+                    /*
+                     * Cancelled before the last chunk: the file has holes.
+                     */
+                    Files.deleteIfExists(file);
+                }
+            } catch (final IOException | RuntimeException | Error e) {
+                /*
+                 * Whatever the failure, it must be reported, not mistaken for a cancellation.
+                 * The generator has already deleted the file it could not complete.
+                 */
+                failure = e;
+            } finally {
+                SwingUtilities.invokeLater(this::finish);
+            }
+            return written;
+        }
+
+        private void finish() {
+            bulkWorker = null;
+            bulkGenerate.setText(GENERATE);
+            bulkGenerate.setEnabled(true);
+            if (failure != null) {
+                bulkProgress.setString(null);
+                JOptionPane.showMessageDialog(
+                    frame, Objects.toString(failure.getMessage(), failure.toString()), TITLE, JOptionPane.ERROR_MESSAGE
+                );
+            } else if (written < count) {
+                bulkProgress.setString("Cancelled");
+            } else {
+                bulkProgress.setString(written + " numbers written");
+            }
+        }
+    }
+
     private void display() {
         /*
          * Make the frame one fifth the resolution of the screen. This very
@@ -78,10 +245,41 @@ public class MiniGUI {
      * Launches the application.
      *
      * @param args
-     *            ignored
+     *            the file where to write the numbers; if missing, they are
+     *            printed on standard output
+     * @throws IOException
+     *             if the file cannot be opened
      */
-    public static void main(final String... args) {
-        new MiniGUI().display();
+    public static void main(final String... args) throws IOException {
+        final AsyncNumberSink sink = args.length > 0
+            ? AsyncNumberSink.toFile(Path.of(args[0]))
+            : AsyncNumberSink.toStandardOutput();
+        /*
+         * The frame exits the JVM when closed: write the pending numbers before.
+         */
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                sink.close();
+            } finally {
+                if (sink.getDroppedCount() > 0) {
+                    System.err.println(sink.getDroppedCount() + " numbers were dropped: the output is incomplete");
+                }
+            }
+        }));
+        /*
+         * Report on standard error the handlers that make the GUI unresponsive.
+         */
+        final EdtMonitor monitor = EdtMonitor.install(STALL_THRESHOLD, stall -> {
+            System.err.println(
+                "Event Dispatch Thread stalled for " + stall.elapsed().toMillis() + "ms on " + stall.event()
+            );
+            stall.stack().forEach(frame -> System.err.println("\tat " + frame));
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.err.println("Handler duration: " + monitor.getHandlerDuration());
+            System.err.println("Queue latency: " + monitor.getQueueLatency());
+        }));
+        new MiniGUI(sink).display();
     }
 
 }
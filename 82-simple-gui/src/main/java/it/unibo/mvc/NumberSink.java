@@ -0,0 +1,33 @@
+package it.unibo.mvc;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A destination for the numbers produced by the application.
+ * Implementations must return from {@link #accept(int)} without performing I/O,
+ * as it gets called from the Event Dispatch Thread.
+ */
+public interface NumberSink extends IntConsumer, AutoCloseable {
+
+    /**
+     * Hands a number to this sink. Never blocks.
+     *
+     * @param number the number to output
+     */
+    @Override
+    void accept(int number);
+
+    /**
+     * Returns how many numbers this sink could not output, e.g. because they arrived faster
+     * than they could be written.
+     *
+     * @return the number of dropped numbers
+     */
+    long getDroppedCount();
+
+    /**
+     * Outputs every number accepted so far and releases the resources of this sink.
+     */
+    @Override
+    void close();
+}
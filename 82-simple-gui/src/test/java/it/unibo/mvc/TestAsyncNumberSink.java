@@ -0,0 +1,183 @@
+package it.unibo.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link AsyncNumberSink} class.
+ */
+class TestAsyncNumberSink {
+
+    private static final int NUMBERS = 10_000;
+    private static final int BURST = 100_000;
+    private static final long FLUSH_WAIT_MS = AsyncNumberSink.FLUSH_PERIOD_MS * 20;
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Check that closing the sink writes all the pending numbers, in order.
+     */
+    @Test
+    void testCloseDrainsPending() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        final AsyncNumberSink sink = AsyncNumberSink.toFile(file);
+        IntStream.range(-NUMBERS / 2, NUMBERS / 2).forEach(sink);
+        sink.close();
+        assertEquals(0, sink.getDroppedCount());
+        assertEquals(
+            IntStream.range(-NUMBERS / 2, NUMBERS / 2).mapToObj(Integer::toString).collect(Collectors.toList()),
+            Files.readAllLines(file)
+        );
+    }
+
+    /**
+     * Check that the numbers get written periodically, without closing the sink.
+     */
+    @Test
+    void testPeriodicFlush() throws IOException, InterruptedException {
+        final Path file = directory.resolve("numbers.txt");
+        try (AsyncNumberSink sink = AsyncNumberSink.toFile(file)) {
+            sink.accept(Integer.MIN_VALUE);
+            final long deadline = System.currentTimeMillis() + FLUSH_WAIT_MS;
+            while (Files.size(file) == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(AsyncNumberSink.FLUSH_PERIOD_MS);
+            }
+            assertEquals(List.of(Integer.toString(Integer.MIN_VALUE)), Files.readAllLines(file));
+        }
+    }
+
+    /**
+     * Check that many numbers are written with few writes on the channel.
+     */
+    @Test
+    void testBatching() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        final AtomicInteger writes = new AtomicInteger();
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        final AsyncNumberSink sink = new AsyncNumberSink(new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer source) throws IOException {
+                writes.incrementAndGet();
+                return channel.write(source);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        }, true, "batching", NUMBERS);
+        IntStream.range(0, NUMBERS).forEach(sink);
+        sink.close();
+        assertEquals(NUMBERS, Files.readAllLines(file).size());
+        assertTrue(writes.get() < NUMBERS / 100, writes.get() + " writes for " + NUMBERS + " numbers");
+    }
+
+    /**
+     * Check that every number is either written or counted as dropped, even after closing.
+     */
+    @Test
+    void testDropCounting() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        final AsyncNumberSink sink = new AsyncNumberSink(
+            FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE),
+            true,
+            "dropping",
+            1
+        );
+        IntStream.range(0, BURST).forEach(sink);
+        sink.close();
+        assertEquals(BURST, Files.readAllLines(file).size() + sink.getDroppedCount());
+        final long dropped = sink.getDroppedCount();
+        sink.accept(0);
+        assertEquals(dropped + 1, sink.getDroppedCount());
+    }
+
+    /**
+     * Check that, when the channel fails after some writes, every number is either written
+     * or counted as dropped.
+     */
+    @Test
+    void testFailureAccounting() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        final AtomicInteger writes = new AtomicInteger();
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        final AsyncNumberSink sink = new AsyncNumberSink(new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer source) throws IOException {
+                if (writes.incrementAndGet() > 1) {
+                    throw new IOException("Disk full");
+                }
+                return channel.write(source);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return channel.isOpen();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        }, true, "half-failing", NUMBERS);
+        /*
+         * Ten-digit numbers, so that they take more than one write
+         */
+        IntStream.range(0, NUMBERS).map(i -> Integer.MAX_VALUE - i).forEach(sink);
+        assertThrows(UncheckedIOException.class, sink::close);
+        assertEquals(NUMBERS, Files.readAllLines(file).size() + sink.getDroppedCount());
+    }
+
+    /**
+     * Check that a write failure surfaces when closing, and that both the number lost in the
+     * failed write and the later ones are counted as dropped.
+     */
+    @Test
+    void testFailure() {
+        final AsyncNumberSink sink = new AsyncNumberSink(new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer source) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release
+            }
+        }, true, "failing", NUMBERS);
+        sink.accept(1);
+        final UncheckedIOException exception = assertThrows(UncheckedIOException.class, sink::close);
+        assertEquals("Disk full", exception.getCause().getMessage());
+        assertEquals(1, sink.getDroppedCount());
+        sink.accept(2);
+        assertEquals(2, sink.getDroppedCount());
+    }
+}
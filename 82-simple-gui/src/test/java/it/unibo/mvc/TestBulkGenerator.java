@@ -0,0 +1,175 @@
+package it.unibo.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link BulkGenerator} class. Chunks are kept small, so that
+ * a few hundred numbers are spread over many parallel tasks.
+ */
+class TestBulkGenerator {
+
+    private static final long SEED = 42;
+    private static final int CHUNK = 16;
+    private static final int CHUNKS = 64;
+    private static final int COUNT = CHUNK * CHUNKS - 3;
+    private static final int CANCEL_AFTER = 5;
+    private static final String KEPT = "previous content";
+
+    @TempDir
+    private Path directory;
+
+    private final BulkGenerator generator = new BulkGenerator(SEED, CHUNK);
+
+    /**
+     * Check that the same seed always produces the same file, and another seed a different one.
+     */
+    @Test
+    void testDeterminism() throws IOException {
+        final Path first = directory.resolve("first.bin");
+        final Path second = directory.resolve("second.bin");
+        final Path other = directory.resolve("other.bin");
+        generate(generator, first, BulkGenerator.Format.BINARY);
+        generate(generator, second, BulkGenerator.Format.BINARY);
+        generate(new BulkGenerator(SEED + 1, CHUNK), other, BulkGenerator.Format.BINARY);
+        assertTrue(Arrays.equals(Files.readAllBytes(first), Files.readAllBytes(second)));
+        assertFalse(Arrays.equals(Files.readAllBytes(first), Files.readAllBytes(other)));
+    }
+
+    /**
+     * Check that the binary layout holds the expected numbers in four big-endian bytes each.
+     */
+    @Test
+    void testBinaryLayout() throws IOException {
+        final Path file = directory.resolve("numbers.bin");
+        assertEquals(COUNT, generate(generator, file, BulkGenerator.Format.BINARY));
+        final ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals((long) COUNT * Integer.BYTES, content.capacity());
+        final List<Integer> numbers = new ArrayList<>();
+        while (content.hasRemaining()) {
+            numbers.add(content.getInt());
+        }
+        assertEquals(expected(), numbers);
+    }
+
+    /**
+     * Check that the text layout holds the expected numbers, one per fixed-width line.
+     */
+    @Test
+    void testTextLayout() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        assertEquals(COUNT, generate(generator, file, BulkGenerator.Format.TEXT));
+        assertEquals((long) COUNT * BulkGenerator.Format.TEXT.getBytes(), Files.size(file));
+        final List<Integer> numbers = new ArrayList<>();
+        for (final String line : Files.readAllLines(file)) {
+            assertEquals(BulkGenerator.Format.TEXT.getBytes() - 1, line.length());
+            numbers.add(Integer.parseInt(line.trim()));
+        }
+        assertEquals(expected(), numbers);
+    }
+
+    /**
+     * Check that the extreme numbers fill their line exactly.
+     */
+    @Test
+    void testTextEncoding() {
+        final byte[] lines = new byte[BulkGenerator.Format.TEXT.getBytes() * 3];
+        BulkGenerator.encode(Integer.MIN_VALUE, lines, BulkGenerator.Format.TEXT.getBytes());
+        BulkGenerator.encode(0, lines, BulkGenerator.Format.TEXT.getBytes() * 2);
+        BulkGenerator.encode(Integer.MAX_VALUE, lines, lines.length);
+        assertEquals("-2147483648\n          0\n 2147483647\n", new String(lines, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Check that cancelling skips the chunks not yet started.
+     */
+    @Test
+    void testCancellation() throws IOException {
+        final Path file = directory.resolve("numbers.bin");
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicLong progress = new AtomicLong();
+        /*
+         * Any chunk may start first: use full chunks only, so that each one counts the same.
+         */
+        final long written = generator.generate(
+            file,
+            CHUNK * CHUNKS,
+            BulkGenerator.Format.BINARY,
+            done -> progress.accumulateAndGet(done, Math::max),
+            () -> started.incrementAndGet() > CANCEL_AFTER
+        );
+        assertEquals(CANCEL_AFTER * CHUNK, written);
+        assertEquals(written, progress.get());
+        assertEquals(0, generator.generate(file, COUNT, BulkGenerator.Format.TEXT, done -> { }, () -> true));
+    }
+
+    /**
+     * Check that invalid counts are rejected before touching the file.
+     */
+    @Test
+    void testInvalidCount() {
+        final Path file = directory.resolve("numbers.bin");
+        for (final long count : new long[] {-1, (long) Integer.MAX_VALUE * CHUNK + 1, Long.MAX_VALUE}) {
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> generator.generate(file, count, BulkGenerator.Format.BINARY, done -> { }, () -> false)
+            );
+        }
+        assertFalse(Files.exists(file));
+    }
+
+    /**
+     * Check that a file too large for the disk is refused before overwriting the existing one.
+     */
+    @Test
+    void testNotEnoughSpace() throws IOException {
+        final Path file = directory.resolve("numbers.txt");
+        Files.writeString(file, KEPT);
+        final int largestChunk = Integer.MAX_VALUE / BulkGenerator.Format.TEXT.getBytes();
+        assertThrows(
+            IOException.class,
+            () -> new BulkGenerator(SEED, largestChunk).generate(
+                file,
+                (long) Integer.MAX_VALUE * largestChunk,
+                BulkGenerator.Format.TEXT,
+                done -> { },
+                () -> false
+            )
+        );
+        assertEquals(KEPT, Files.readString(file));
+    }
+
+    private static long generate(final BulkGenerator generator, final Path file, final BulkGenerator.Format format)
+        throws IOException {
+        return generator.generate(file, COUNT, format, done -> { }, () -> false);
+    }
+
+    private static List<Integer> expected() {
+        final SplittableRandom root = new SplittableRandom(SEED);
+        final List<Integer> numbers = new ArrayList<>();
+        while (numbers.size() < COUNT) {
+            final SplittableRandom chunk = root.split();
+            for (int i = 0; i < CHUNK && numbers.size() < COUNT; i++) {
+                numbers.add(chunk.nextInt());
+            }
+        }
+        return numbers;
+    }
+}
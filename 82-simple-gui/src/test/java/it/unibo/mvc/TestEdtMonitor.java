@@ -0,0 +1,94 @@
+package it.unibo.mvc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link EdtMonitor} class. It runs headless (see the build configuration).
+ */
+class TestEdtMonitor {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(50);
+    private static final long STALL_MILLIS = 300;
+    private static final int FAST_EVENTS = 1000;
+
+    private final BlockingQueue<EdtMonitor.Stall> stalls = new LinkedBlockingQueue<>();
+    private EdtMonitor monitor;
+
+    /**
+     * Configuration step: this is performed BEFORE each test.
+     */
+    @BeforeEach
+    void setUp() {
+        monitor = EdtMonitor.install(THRESHOLD, stalls::add);
+    }
+
+    /**
+     * Restores the system event queue AFTER each test.
+     */
+    @AfterEach
+    void tearDown() {
+        monitor.uninstall();
+    }
+
+    /**
+     * Check that the tests do not need a display.
+     */
+    @Test
+    void testHeadless() {
+        assertTrue(GraphicsEnvironment.isHeadless());
+    }
+
+    /**
+     * Check that fast handlers are measured and never reported as stalls.
+     */
+    @Test
+    void testFastHandlers() throws InterruptedException, InvocationTargetException {
+        for (int i = 0; i < FAST_EVENTS; i++) {
+            EventQueue.invokeAndWait(() -> { });
+        }
+        /*
+         * invokeAndWait returns as soon as the runnable ends, possibly before the monitor records
+         * the duration of the last dispatch.
+         */
+        assertTrue(monitor.getHandlerDuration().getCount() >= FAST_EVENTS - 1);
+        assertTrue(monitor.getQueueLatency().getCount() >= FAST_EVENTS);
+        assertTrue(monitor.getHandlerDuration().getPercentile(99).compareTo(THRESHOLD) < 0);
+        assertNull(stalls.poll(THRESHOLD.toMillis() * 2, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Check that a slow handler is reported once, with the stack of the Event Dispatch Thread.
+     */
+    @Test
+    void testStall() throws InterruptedException, InvocationTargetException {
+        EventQueue.invokeAndWait(TestEdtMonitor::block);
+        final EdtMonitor.Stall stall = stalls.poll(STALL_MILLIS, TimeUnit.MILLISECONDS);
+        assertNotNull(stall);
+        assertTrue(stall.elapsed().compareTo(THRESHOLD) > 0);
+        assertTrue(stall.stack().stream().anyMatch(frame -> "block".equals(frame.getMethodName())));
+        assertNull(stalls.poll(THRESHOLD.toMillis() * 2, TimeUnit.MILLISECONDS));
+        assertTrue(monitor.getHandlerDuration().getMax().toMillis() >= STALL_MILLIS);
+    }
+
+    private static void block() {
+        try {
+            Thread.sleep(STALL_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
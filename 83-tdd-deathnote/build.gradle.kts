@@ -3,6 +3,7 @@ import org.gradle.api.tasks.testing.logging.TestLogEvent
 plugins {
     java
     id("org.danilopianini.gradle-java-qa") version "1.69.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -25,3 +26,19 @@ tasks.withType<Test> {
     }
     testLogging.showStandardStreams = true
 }
+
+jmh {
+    jmhVersion.set("1.37")
+    // Report the allocation rate per operation along with the timings
+    profilers.add("gc")
+    // Run with -PjmhThreads=<n> to load the notes from several threads
+    threads.set(providers.gradleProperty("jmhThreads").map(String::toInt).orElse(1))
+    // Ten million names per note need a large heap: override with -PjmhHeap=<size>
+    jvmArgs.add(providers.gradleProperty("jmhHeap").map { "-Xmx$it" }.orElse("-Xmx4g"))
+    // Run a subset of the benchmarks with -PjmhIncludes=<regex>
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// JMH states need public mutable fields for their parameters: check the main and test code only
+tasks.matching { task -> listOf("checkstyle", "pmd", "spotbugs").any { task.name == "${it}Jmh" } }
+    .configureEach { enabled = false }
@@ -0,0 +1,264 @@
+package it.unibo.deathnote.benchmark;
+
+import it.unibo.deathnote.api.DeathNote;
+import it.unibo.deathnote.impl.DeathNoteImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link DeathNoteImplementation} operations on notes holding from one thousand
+ * to ten million names.
+ * <p>
+ * Time is driven by a manual clock that advances by a fixed step at every reading,
+ * so both the open and the expired time windows are measured without sleeping.
+ * The number of threads is set from the build (see the README of this module):
+ * read benchmarks share a single note among all threads, write benchmarks give each
+ * thread its own note.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeathNoteBenchmark {
+
+    /*
+     * Probes are sampled in a power-of-two pool, so that cursors can wrap with a mask.
+     */
+    private static final int PROBES = 1 << 16;
+    private static final int MASK = PROBES - 1;
+    private static final String CAUSE = "karting accident";
+    private static final String DETAILS = "ran for too long";
+    private static final String LAST_NAME = "victim";
+
+    /**
+     * Clock steps, in milliseconds, between two consecutive readings of the clock.
+     */
+    public enum Window {
+        /**
+         * The clock never advances: every cause and every detail is written in time.
+         */
+        OPEN(0),
+        /**
+         * The clock advances past both windows at every reading: every write comes too late.
+         */
+        EXPIRED(DeathNoteImplementation.DETAILS_TIMEOUT + 1);
+
+        private final long step;
+
+        Window(final long step) {
+            this.step = step;
+        }
+    }
+
+    /**
+     * Names written in the notes, shared by all the threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Names {
+
+        /**
+         * Number of names written in each note.
+         */
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        private String[] written;
+        private final String[] hits = new String[PROBES];
+        private final String[] misses = new String[PROBES];
+
+        /**
+         * Generates the names.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            final SplittableRandom random = new SplittableRandom(size);
+            written = new String[size];
+            for (int i = 0; i < size; i++) {
+                written[i] = "human-" + i;
+            }
+            for (int i = 0; i < PROBES; i++) {
+                /*
+                 * Copies, not the keys themselves: lookups must compare the strings, as real ones do,
+                 * instead of succeeding on the identity check.
+                 */
+                hits[i] = new String(written[random.nextInt(size)]);
+                misses[i] = "ghost-" + random.nextInt();
+            }
+        }
+
+        private DeathNote newNote(final ManualClock clock) {
+            final DeathNote note = new DeathNoteImplementation(clock);
+            for (final String name : written) {
+                note.writeName(name);
+            }
+            return note;
+        }
+    }
+
+    /**
+     * A note filled once and only read afterwards, shared by all the threads.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedNote {
+
+        private DeathNote note;
+
+        /**
+         * Fills the note.
+         *
+         * @param names the names to write
+         */
+        @Setup(Level.Trial)
+        public void setUp(final Names names) {
+            note = names.newNote(new ManualClock(0));
+        }
+    }
+
+    /**
+     * A note owned by a single thread, on which names are written.
+     */
+    @State(Scope.Thread)
+    public static class OwnNote {
+
+        private DeathNote note;
+
+        /**
+         * Fills the note.
+         *
+         * @param names the names to write
+         */
+        @Setup(Level.Trial)
+        public void setUp(final Names names) {
+            note = names.newNote(new ManualClock(0));
+        }
+    }
+
+    /**
+     * A note owned by a single thread, on which causes and details are written inside
+     * or outside their time windows.
+     */
+    @State(Scope.Thread)
+    public static class TimedNote {
+
+        /**
+         * Whether writes land inside or outside the time windows.
+         */
+        @Param
+        public Window window;
+
+        private DeathNote note;
+
+        /**
+         * Fills the note, and writes one more name so that causes and details can be written.
+         *
+         * @param names the names to write
+         */
+        @Setup(Level.Trial)
+        public void setUp(final Names names) {
+            note = names.newNote(new ManualClock(window.step));
+            note.writeName(LAST_NAME);
+        }
+    }
+
+    /**
+     * Per-thread position in the probe pools.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        private int next() {
+            return position++ & MASK;
+        }
+    }
+
+    /**
+     * Writes again a name already written in the note, replacing its entry.
+     * The note keeps holding exactly {@code size} names, so that every size measures a note
+     * of that size: inserting new names would grow the note by millions of entries per iteration.
+     *
+     * @param names the names
+     * @param own the note of this thread
+     * @param cursor the cursor of this thread
+     */
+    @Benchmark
+    public void writeName(final Names names, final OwnNote own, final Cursor cursor) {
+        own.note.writeName(names.hits[cursor.next()]);
+    }
+
+    /**
+     * Writes the cause of death of the last name written.
+     *
+     * @param timed the note of this thread
+     * @return whether the cause was written in time
+     */
+    @Benchmark
+    public boolean writeDeathCause(final TimedNote timed) {
+        return timed.note.writeDeathCause(CAUSE);
+    }
+
+    /**
+     * Writes the details of the death of the last name written.
+     *
+     * @param timed the note of this thread
+     * @return whether the details were written in time
+     */
+    @Benchmark
+    public boolean writeDetails(final TimedNote timed) {
+        return timed.note.writeDetails(DETAILS);
+    }
+
+    /**
+     * Looks up a name written in the note.
+     *
+     * @param names the names
+     * @param shared the note shared by all the threads
+     * @param cursor the cursor of this thread
+     * @return true
+     */
+    @Benchmark
+    public boolean isNameWrittenHit(final Names names, final SharedNote shared, final Cursor cursor) {
+        return shared.note.isNameWritten(names.hits[cursor.next()]);
+    }
+
+    /**
+     * Looks up a name that is not written in the note.
+     *
+     * @param names the names
+     * @param shared the note shared by all the threads
+     * @param cursor the cursor of this thread
+     * @return false
+     */
+    @Benchmark
+    public boolean isNameWrittenMiss(final Names names, final SharedNote shared, final Cursor cursor) {
+        return shared.note.isNameWritten(names.misses[cursor.next()]);
+    }
+
+    /**
+     * Reads the cause of death of a name written in the note.
+     *
+     * @param names the names
+     * @param shared the note shared by all the threads
+     * @param cursor the cursor of this thread
+     * @return the cause of death
+     */
+    @Benchmark
+    public String getDeathCause(final Names names, final SharedNote shared, final Cursor cursor) {
+        return shared.note.getDeathCause(names.hits[cursor.next()]);
+    }
+}
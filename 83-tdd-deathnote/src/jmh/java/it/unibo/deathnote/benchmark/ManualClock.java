@@ -0,0 +1,32 @@
+package it.unibo.deathnote.benchmark;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A clock that advances by a fixed number of milliseconds every time it is read.
+ * It is not thread-safe: each instance must be read by a single thread.
+ */
+public final class ManualClock implements LongSupplier {
+
+    private final long step;
+    private long now;
+
+    /**
+     * Builds a new {@link ManualClock} starting from zero.
+     *
+     * @param step the milliseconds to advance at every reading
+     */
+    public ManualClock(final long step) {
+        this.step = step;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getAsLong() {
+        final long current = now;
+        now += step;
+        return current;
+    }
+}
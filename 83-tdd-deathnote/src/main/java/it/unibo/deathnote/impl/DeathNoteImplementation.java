@@ -0,0 +1,153 @@
+package it.unibo.deathnote.impl;
+
+import it.unibo.deathnote.api.DeathNote;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link DeathNote} implementation whose time windows are measured with a pluggable clock.
+ */
+public class DeathNoteImplementation implements DeathNote {
+
+    /**
+     * Cause of death used when no cause is written in time.
+     */
+    public static final String DEFAULT_CAUSE = "heart attack";
+
+    /**
+     * Milliseconds available to write the cause of death after writing a name.
+     */
+    public static final long CAUSE_TIMEOUT = 40;
+
+    /**
+     * Milliseconds available to write the details of the death after the last write.
+     */
+    public static final long DETAILS_TIMEOUT = 6040;
+
+    private final Map<String, Death> deaths = new HashMap<>();
+    private final LongSupplier clock;
+    private Death lastDeath;
+    private long nameWriteTime;
+    private long lastWriteTime;
+
+    /**
+     * Builds a new {@link DeathNoteImplementation} that measures time with
+     * {@link System#currentTimeMillis()}.
+     */
+    public DeathNoteImplementation() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * Builds a new {@link DeathNoteImplementation}.
+     *
+     * @param clock the source of the current time, in milliseconds
+     */
+    public DeathNoteImplementation(final LongSupplier clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getRule(final int ruleNumber) {
+        if (ruleNumber < 1 || ruleNumber > RULES.size()) {
+            throw new IllegalArgumentException(
+                "Rule number " + ruleNumber + " does not exist: rules go from 1 to " + RULES.size()
+            );
+        }
+        return RULES.get(ruleNumber - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeName(final String name) {
+        Objects.requireNonNull(name, "The name of the human cannot be null");
+        this.lastDeath = new Death();
+        this.deaths.put(name, this.lastDeath);
+        this.nameWriteTime = this.clock.getAsLong();
+        this.lastWriteTime = this.nameWriteTime;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean writeDeathCause(final String cause) {
+        checkWritable(cause, "cause of death");
+        final long now = this.clock.getAsLong();
+        if (now - this.nameWriteTime <= CAUSE_TIMEOUT) {
+            this.lastDeath.cause = cause;
+            this.lastWriteTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean writeDetails(final String details) {
+        checkWritable(details, "details of the death");
+        final long now = this.clock.getAsLong();
+        if (now - this.lastWriteTime <= DETAILS_TIMEOUT) {
+            this.lastDeath.details = details;
+            this.lastWriteTime = now;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDeathCause(final String name) {
+        return getDeath(name).cause;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDeathDetails(final String name) {
+        return getDeath(name).details;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isNameWritten(final String name) {
+        return this.deaths.containsKey(name);
+    }
+
+    private void checkWritable(final String text, final String what) {
+        if (this.lastDeath == null) {
+            throw new IllegalStateException("Cannot write the " + what + ": no name has been written yet");
+        }
+        if (text == null) {
+            throw new IllegalStateException("The " + what + " cannot be null");
+        }
+    }
+
+    private Death getDeath(final String name) {
+        final Death death = this.deaths.get(name);
+        if (death == null) {
+            throw new IllegalArgumentException(name + " is not written in this DeathNote");
+        }
+        return death;
+    }
+
+    private static final class Death {
+        private String cause = DEFAULT_CAUSE;
+        private String details = "";
+    }
+}
@@ -1,5 +1,108 @@
 package it.unibo.deathnote;
 
+import it.unibo.deathnote.api.DeathNote;
+import it.unibo.deathnote.impl.DeathNoteImplementation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the {@link DeathNoteImplementation} class.
+ * Time is driven by a manual clock, so the timing windows are verified without sleeping.
+ */
 class TestDeathNote {
 
-}
\ No newline at end of file
+    private static final String LIGHT = "Light Yagami";
+    private static final String L = "L Lawliet";
+    private static final String KARTING = "karting accident";
+    private static final String RAN = "ran for too long";
+    private static final long CAUSE_DELAY = 100;
+    private static final long DETAILS_DELAY = 6100;
+
+    private long now;
+    private DeathNote deathNote;
+
+    /**
+     * Configuration step: this is performed BEFORE each test.
+     */
+    @BeforeEach
+    void setUp() {
+        this.now = 0;
+        this.deathNote = new DeathNoteImplementation(() -> now);
+    }
+
+    /**
+     * Rule number 0 and negative rules do not exist in the DeathNote rules.
+     */
+    @Test
+    void testInvalidRules() {
+        for (final int rule : new int[] {0, -1, DeathNote.RULES.size() + 1}) {
+            final var exception = assertThrows(IllegalArgumentException.class, () -> deathNote.getRule(rule));
+            assertNotNull(exception.getMessage());
+            assertFalse(exception.getMessage().isBlank());
+        }
+    }
+
+    /**
+     * No rule is empty or null in the DeathNote rules.
+     */
+    @Test
+    void testRulesNotBlank() {
+        for (int i = 1; i <= DeathNote.RULES.size(); i++) {
+            assertNotNull(deathNote.getRule(i));
+            assertFalse(deathNote.getRule(i).isBlank());
+        }
+    }
+
+    /**
+     * The human whose name is written in the DeathNote will eventually die.
+     */
+    @Test
+    void testWriteName() {
+        assertFalse(deathNote.isNameWritten(LIGHT));
+        deathNote.writeName(LIGHT);
+        assertTrue(deathNote.isNameWritten(LIGHT));
+        assertFalse(deathNote.isNameWritten(L));
+        assertFalse(deathNote.isNameWritten(""));
+        assertThrows(NullPointerException.class, () -> deathNote.writeName(null));
+    }
+
+    /**
+     * The cause of death happens only if written within 40 milliseconds of writing the name.
+     */
+    @Test
+    void testDeathCause() {
+        assertThrows(IllegalStateException.class, () -> deathNote.writeDeathCause(KARTING));
+        deathNote.writeName(LIGHT);
+        assertEquals(DeathNoteImplementation.DEFAULT_CAUSE, deathNote.getDeathCause(LIGHT));
+        deathNote.writeName(L);
+        assertTrue(deathNote.writeDeathCause(KARTING));
+        assertEquals(KARTING, deathNote.getDeathCause(L));
+        now += CAUSE_DELAY;
+        assertFalse(deathNote.writeDeathCause(DeathNoteImplementation.DEFAULT_CAUSE));
+        assertEquals(KARTING, deathNote.getDeathCause(L));
+        assertThrows(IllegalArgumentException.class, () -> deathNote.getDeathCause("Misa Amane"));
+    }
+
+    /**
+     * The details of the death happen only if written within 6 seconds and 40 milliseconds.
+     */
+    @Test
+    void testDeathDetails() {
+        assertThrows(IllegalStateException.class, () -> deathNote.writeDetails(RAN));
+        deathNote.writeName(LIGHT);
+        assertEquals("", deathNote.getDeathDetails(LIGHT));
+        assertTrue(deathNote.writeDetails(RAN));
+        assertEquals(RAN, deathNote.getDeathDetails(LIGHT));
+        deathNote.writeName(L);
+        now += DETAILS_DELAY;
+        assertFalse(deathNote.writeDetails(KARTING));
+        assertEquals("", deathNote.getDeathDetails(L));
+        assertEquals(RAN, deathNote.getDeathDetails(LIGHT));
+    }
+}